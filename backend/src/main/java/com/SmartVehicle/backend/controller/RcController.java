@@ -1,6 +1,7 @@
 package com.SmartVehicle.backend.controller;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,9 +18,14 @@ import org.springframework.web.bind.annotation.RestController;
 import com.SmartVehicle.backend.config.AdminKeyValidator;
 import com.SmartVehicle.backend.exception.UnauthorizedException;
 import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.RcSummary;
 import com.SmartVehicle.backend.service.RcService;
 import com.SmartVehicle.backend.repository.OwnershipHistoryRepository;
 import com.SmartVehicle.backend.model.OwnershipHistory;
+import com.SmartVehicle.backend.model.VerificationBucket;
+import com.SmartVehicle.backend.service.OwnerKeyBackfill;
+import com.SmartVehicle.backend.service.RcLookupIndex;
+import com.SmartVehicle.backend.service.VerificationRollupService;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -31,12 +37,19 @@ public class RcController {
     private final RcService rcService;
     private final AdminKeyValidator adminKeyValidator;
     private final OwnershipHistoryRepository ownershipHistoryRepository;
+    // Mongo-backed helpers; absent under the embedded storage profile
+    private final Optional<VerificationRollupService> verificationRollupService;
+    private final Optional<RcLookupIndex> rcLookupIndex;
+    private final Optional<OwnerKeyBackfill> ownerKeyBackfill;
 
     @Autowired
-    public RcController(RcService rcService, AdminKeyValidator adminKeyValidator, OwnershipHistoryRepository ownershipHistoryRepository) {
+    public RcController(RcService rcService, AdminKeyValidator adminKeyValidator, OwnershipHistoryRepository ownershipHistoryRepository, Optional<VerificationRollupService> verificationRollupService, Optional<RcLookupIndex> rcLookupIndex, Optional<OwnerKeyBackfill> ownerKeyBackfill) {
         this.rcService = rcService;
         this.adminKeyValidator = adminKeyValidator;
         this.ownershipHistoryRepository = ownershipHistoryRepository;
+        this.verificationRollupService = verificationRollupService;
+        this.rcLookupIndex = rcLookupIndex;
+        this.ownerKeyBackfill = ownerKeyBackfill;
     }
 
     @GetMapping
@@ -61,15 +74,18 @@ public class RcController {
 
     @GetMapping("/stats")
     public java.util.Map<String, Object> getStats() {
-        List<Rc> all = rcService.getAll();
+        // Served from the in-memory lookup index once warmed; falls back to a full scan during startup
+        List<RcLookupIndex.Entry> all = rcLookupIndex.filter(RcLookupIndex::isReady)
+                .map(RcLookupIndex::entries)
+                .orElseGet(() -> rcService.getAll().stream().map(RcLookupIndex.Entry::of).toList());
         long total = all.size();
-        long activeCount = all.stream().filter(rc -> rc.getRegistrationInfo() != null && rc.getRegistrationInfo().isActive()).count();
-        long stolenCount = all.stream().filter(rc -> Boolean.TRUE.equals(rc.getStolen())).count();
-        long suspiciousCount = all.stream().filter(rc -> Boolean.TRUE.equals(rc.getSuspicious())).count();
+        long activeCount = all.stream().filter(RcLookupIndex.Entry::active).count();
+        long stolenCount = all.stream().filter(RcLookupIndex.Entry::stolen).count();
+        long suspiciousCount = all.stream().filter(RcLookupIndex.Entry::suspicious).count();
 
         java.util.Map<String, Integer> byState = new java.util.HashMap<>();
-        for (Rc rc : all) {
-            String st = rc.getRegistrationState();
+        for (RcLookupIndex.Entry rc : all) {
+            String st = rc.registrationState();
             if (st != null && !st.isEmpty()) {
                 byState.put(st, byState.getOrDefault(st, 0) + 1);
             }
@@ -78,9 +94,9 @@ public class RcController {
         // Monthly verifications (by Rc.createdAt month)
         java.time.format.DateTimeFormatter fmt = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM");
         java.util.Map<String, Integer> monthly = new java.util.TreeMap<>();
-        for (Rc rc : all) {
-            if (rc.getCreatedAt() != null) {
-                String key = java.time.ZonedDateTime.ofInstant(rc.getCreatedAt(), java.time.ZoneId.systemDefault()).format(fmt);
+        for (RcLookupIndex.Entry rc : all) {
+            if (rc.createdAt() != null) {
+                String key = java.time.ZonedDateTime.ofInstant(rc.createdAt(), java.time.ZoneId.systemDefault()).format(fmt);
                 monthly.put(key, monthly.getOrDefault(key, 0) + 1);
             }
         }
@@ -97,6 +113,24 @@ public class RcController {
         return result;
     }
 
+    // Verification time series from pre-aggregated buckets (defaults to the last 24 hours)
+    @GetMapping("/stats/verifications")
+    public List<VerificationBucket> getVerificationSeries(
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) java.time.Instant from,
+            @RequestParam(required = false) java.time.Instant to,
+            @RequestParam(required = false) String registrationState,
+            @RequestParam(required = false) String outcome) {
+
+        if (to == null) to = java.time.Instant.now();
+        if (from == null) from = to.minus(java.time.Duration.ofHours(24));
+        java.time.Instant rangeFrom = from;
+        java.time.Instant rangeTo = to;
+        return verificationRollupService
+                .map(s -> s.getRange(granularity, rangeFrom, rangeTo, registrationState, outcome))
+                .orElse(List.of()); // rollups are not kept by the embedded storage profile
+    }
+
     @GetMapping("/page")
     public java.util.Map<String, Object> getPage(
             @RequestParam(defaultValue = "0") int page,
@@ -125,6 +159,26 @@ public class RcController {
         return result;
     }
 
+    // Person-centric lookup: exactly one of phone, email or aadhaarLast4; name is required with, and only with, aadhaarLast4
+    @GetMapping("/owner")
+    public java.util.Map<String, Object> getByOwner(
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String aadhaarLast4,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        org.springframework.data.domain.Page<RcSummary> result = rcService.findByOwner(phone, email, aadhaarLast4, name, page, size);
+        java.util.Map<String, Object> body = new java.util.HashMap<>();
+        body.put("items", result.getContent());
+        body.put("page", result.getNumber());
+        body.put("size", result.getSize());
+        body.put("total", result.getTotalElements());
+        body.put("totalPages", result.getTotalPages());
+        return body;
+    }
+
     @PostMapping
     public Rc create(@RequestBody Rc rc, HttpServletRequest request) {
         if (!adminKeyValidator.isAdminAuthorized(request)) throw new UnauthorizedException();
@@ -137,6 +191,14 @@ public class RcController {
         return rcService.update(id, rc);
     }
 
+    // Run once every replica has the owner key fields; safe to repeat
+    @PostMapping("/owner/backfill")
+    public java.util.Map<String, Object> backfillOwnerKeys(HttpServletRequest request) {
+        if (!adminKeyValidator.isAdminAuthorized(request)) throw new UnauthorizedException();
+        int updated = ownerKeyBackfill.map(OwnerKeyBackfill::backfill).orElse(0); // embedded saves always carry the keys
+        return java.util.Map.of("updated", updated);
+    }
+
     @DeleteMapping("/{id}")
     public void delete(@PathVariable String id, HttpServletRequest request) {
         if (!adminKeyValidator.isAdminAuthorized(request)) throw new UnauthorizedException();
@@ -20,4 +20,13 @@ public class GlobalExceptionHandler {
         body.put("status", 401);
         return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleBadRequest(IllegalArgumentException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        body.put("timestamp", Instant.now());
+        body.put("status", 400);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
 }
@@ -4,10 +4,22 @@ import java.time.Instant;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 @Document(collection = "vehicles")
+@CompoundIndexes({
+        @CompoundIndex(name = "ownerPhoneKey_rcNumber", def = "{'ownerPhoneKey': 1, 'rcNumber': 1}",
+                partialFilter = "{'ownerPhoneKey': {$type: 'string'}}"),
+        @CompoundIndex(name = "ownerEmailKey_rcNumber", def = "{'ownerEmailKey': 1, 'rcNumber': 1}",
+                partialFilter = "{'ownerEmailKey': {$type: 'string'}}"),
+        @CompoundIndex(name = "ownerIdentityKey_rcNumber", def = "{'ownerIdentityKey': 1, 'rcNumber': 1}",
+                partialFilter = "{'ownerIdentityKey': {$type: 'string'}}")
+})
 public class Rc {
 
     @Id
@@ -32,7 +44,15 @@ public class Rc {
     private Boolean suspicious;
     private Integer verified; // Number of times this RC has been verified
     private Instant createdAt;
-    private Instant updatedAt;
+    @Indexed
+    private Instant updatedAt; // lookup index catch-up queries on this
+    // Normalized owner lookup keys, derived server-side from owner (see OwnerKeys)
+    @JsonIgnore
+    private String ownerPhoneKey;
+    @JsonIgnore
+    private String ownerEmailKey;
+    @JsonIgnore
+    private String ownerIdentityKey; // aadhaarLast4 + normalized name
 
     // Getters & Setters (explicit to ensure Jackson binding without Lombok)
     public String getId() { return id; }
@@ -87,4 +107,13 @@ public class Rc {
 
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getOwnerPhoneKey() { return ownerPhoneKey; }
+    public void setOwnerPhoneKey(String ownerPhoneKey) { this.ownerPhoneKey = ownerPhoneKey; }
+
+    public String getOwnerEmailKey() { return ownerEmailKey; }
+    public void setOwnerEmailKey(String ownerEmailKey) { this.ownerEmailKey = ownerEmailKey; }
+
+    public String getOwnerIdentityKey() { return ownerIdentityKey; }
+    public void setOwnerIdentityKey(String ownerIdentityKey) { this.ownerIdentityKey = ownerIdentityKey; }
 }
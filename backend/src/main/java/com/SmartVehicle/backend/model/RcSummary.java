@@ -0,0 +1,36 @@
+package com.SmartVehicle.backend.model;
+
+// Compact vehicle view returned by owner lookups
+public class RcSummary {
+
+    private String id;
+    private String rcNumber;
+    private String ownerName;
+    private String make;
+    private String model;
+    private String registrationState;
+    private Boolean stolen;
+    private Boolean suspicious;
+
+    public static RcSummary of(Rc rc) {
+        RcSummary s = new RcSummary();
+        s.id = rc.getId();
+        s.rcNumber = rc.getRcNumber();
+        s.ownerName = rc.getOwner() != null ? rc.getOwner().getName() : null;
+        s.make = rc.getVehicleInfo() != null ? rc.getVehicleInfo().getMake() : null;
+        s.model = rc.getVehicleInfo() != null ? rc.getVehicleInfo().getModel() : null;
+        s.registrationState = rc.getRegistrationState();
+        s.stolen = rc.getStolen();
+        s.suspicious = rc.getSuspicious();
+        return s;
+    }
+
+    public String getId() { return id; }
+    public String getRcNumber() { return rcNumber; }
+    public String getOwnerName() { return ownerName; }
+    public String getMake() { return make; }
+    public String getModel() { return model; }
+    public String getRegistrationState() { return registrationState; }
+    public Boolean getStolen() { return stolen; }
+    public Boolean getSuspicious() { return suspicious; }
+}
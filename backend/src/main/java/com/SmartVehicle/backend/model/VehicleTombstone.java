@@ -0,0 +1,27 @@
+package com.SmartVehicle.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Marks a deleted vehicle so replica lookup indexes can drop it during catch-up
+@Document(collection = "vehicle_tombstones")
+public class VehicleTombstone {
+
+    // Lookup snapshots older than this are discarded, since tombstones they would need may have expired
+    public static final long RETENTION_DAYS = 30;
+
+    @Id
+    private String id; // id of the deleted Rc
+
+    @Indexed(expireAfter = RETENTION_DAYS + "d")
+    private Instant deletedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Instant getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(Instant deletedAt) { this.deletedAt = deletedAt; }
+}
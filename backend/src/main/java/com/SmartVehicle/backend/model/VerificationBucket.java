@@ -0,0 +1,50 @@
+package com.SmartVehicle.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "verification_buckets")
+@CompoundIndexes({
+        @CompoundIndex(name = "granularity_bucketStart", def = "{'granularity': 1, 'bucketStart': 1}"),
+        @CompoundIndex(name = "granularity_state_bucketStart", def = "{'granularity': 1, 'registrationState': 1, 'bucketStart': 1}")
+})
+public class VerificationBucket {
+
+    // Deterministic key: granularity|bucketStart epoch millis|state|outcome, so flushes can upsert by _id
+    @Id
+    private String id;
+
+    private String granularity; // minute, hour, day
+    private Instant bucketStart;
+    private String registrationState;
+    private String outcome; // found, stolen, suspicious, not-found
+    private long count;
+    @Indexed(expireAfter = "0s")
+    private Instant expireAt; // TTL for minute and hour buckets; day buckets are kept
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getGranularity() { return granularity; }
+    public void setGranularity(String granularity) { this.granularity = granularity; }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public String getRegistrationState() { return registrationState; }
+    public void setRegistrationState(String registrationState) { this.registrationState = registrationState; }
+
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public Instant getExpireAt() { return expireAt; }
+    public void setExpireAt(Instant expireAt) { this.expireAt = expireAt; }
+}
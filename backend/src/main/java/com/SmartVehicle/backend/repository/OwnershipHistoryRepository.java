@@ -2,10 +2,10 @@ package com.SmartVehicle.backend.repository;
 
 import java.util.List;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.ListCrudRepository;
 
 import com.SmartVehicle.backend.model.OwnershipHistory;
 
-public interface OwnershipHistoryRepository extends MongoRepository<OwnershipHistory, String> {
+public interface OwnershipHistoryRepository extends ListCrudRepository<OwnershipHistory, String> {
     List<OwnershipHistory> findByRcIdOrderByTransferredAtDesc(String rcId);
 }
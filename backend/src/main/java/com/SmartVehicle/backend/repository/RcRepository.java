@@ -1,8 +1,24 @@
 package com.SmartVehicle.backend.repository;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+
 import com.SmartVehicle.backend.model.Rc;
 
-public interface RcRepository extends MongoRepository<Rc, String> {
+// Only CRUD plus these finders, so the embedded store can implement the full contract
+public interface RcRepository extends ListCrudRepository<Rc, String> {
+    String SUMMARY_FIELDS = "{ 'rcNumber': 1, 'owner.name': 1, 'vehicleInfo.make': 1, 'vehicleInfo.model': 1, 'registrationState': 1, 'stolen': 1, 'suspicious': 1 }";
+
     Rc findByRcNumber(String rcNumber);
+
+    @Query(value = "{ 'ownerPhoneKey': ?0 }", fields = SUMMARY_FIELDS)
+    Page<Rc> findSummariesByOwnerPhoneKey(String ownerPhoneKey, Pageable pageable);
+
+    @Query(value = "{ 'ownerEmailKey': ?0 }", fields = SUMMARY_FIELDS)
+    Page<Rc> findSummariesByOwnerEmailKey(String ownerEmailKey, Pageable pageable);
+
+    @Query(value = "{ 'ownerIdentityKey': ?0 }", fields = SUMMARY_FIELDS)
+    Page<Rc> findSummariesByOwnerIdentityKey(String ownerIdentityKey, Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.SmartVehicle.backend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import com.SmartVehicle.backend.model.VerificationBucket;
+
+public interface VerificationBucketRepository extends MongoRepository<VerificationBucket, String> {
+    @Query(value = "{ 'granularity': ?0, 'bucketStart': { $gte: ?1, $lt: ?2 } }", sort = "{ 'bucketStart': 1 }")
+    List<VerificationBucket> findRange(String granularity, Instant from, Instant to);
+
+    @Query(value = "{ 'granularity': ?0, 'registrationState': ?1, 'bucketStart': { $gte: ?2, $lt: ?3 } }", sort = "{ 'bucketStart': 1 }")
+    List<VerificationBucket> findRangeForState(String granularity, String registrationState, Instant from, Instant to);
+}
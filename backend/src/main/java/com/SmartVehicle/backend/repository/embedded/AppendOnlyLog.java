@@ -0,0 +1,446 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only key/value log stored in fixed-size, memory-mapped segment files.
+ *
+ * Record layout: int bodyLength, int crc32c(body), then the body: byte type (PUT/DELETE),
+ * short keyLength, key (UTF-8), int floor, payload. A zero length marks the end of a segment.
+ * The floor is the oldest segment that may still hold an earlier record for the key (records
+ * of the first format have no floor and read as 0). The latest record for each key is located
+ * through an in-memory {@link StringLongHashMap} of (segment id << 32 | offset), rebuilt by
+ * replaying the segments in order on open. A LOCK file keeps other processes out of the directory.
+ *
+ * Recovery: replay stops at the first record whose length or checksum is wrong. In the newest
+ * segment that is a torn write and the tail is zeroed so appends resume there.
+ *
+ * Compaction: sealed segments whose live bytes drop below a threshold have their live records
+ * re-appended to the active segment and are then deleted. A tombstone is live, and carried
+ * forward, while a segment between its floor and itself still exists, so deleted keys cannot
+ * resurface on the next replay; once none does it is dropped.
+ */
+final class AppendOnlyLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AppendOnlyLog.class);
+
+    private static final byte LEGACY_PUT = 1;
+    private static final byte LEGACY_DELETE = 2;
+    private static final byte PUT = 3;
+    private static final byte DELETE = 4;
+    private static final int FRAME = 8; // bodyLength + crc
+    private static final int BODY_HEADER = 3; // type + keyLength
+    private static final int FLOOR = 4;
+    private static final int OWN_SEGMENT = -1; // floor placeholder: no earlier record can exist
+    private static final String LOCK_FILE = "LOCK";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final MappedByteBuffer buf;
+        int writePos;
+        long liveBytes;
+        boolean dirty;
+
+        Segment(int id, Path path, MappedByteBuffer buf) {
+            this.id = id;
+            this.path = path;
+            this.buf = buf;
+        }
+    }
+
+    private record Slot(byte type, String key, int floor, int payloadOffset, int payloadLength, int size) {}
+
+    private final Path dir;
+    private final int segmentSize;
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final StringLongHashMap index;
+    // Deleted keys whose tombstone is still needed, to its location
+    private final StringLongHashMap tombstones = new StringLongHashMap(16);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel lockChannel;
+    private FileLock dirLock;
+    private Segment active;
+
+    AppendOnlyLog(Path dir, int segmentSize, int expectedKeys) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.index = new StringLongHashMap(expectedKeys);
+        try {
+            Files.createDirectories(dir);
+            open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open embedded log in " + dir, ex);
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return index.get(key) != StringLongHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    byte[] get(String key) {
+        lock.readLock().lock();
+        try {
+            long loc = index.get(key);
+            return loc == StringLongHashMap.MISSING ? null : readPayload(loc);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<String> keys() {
+        lock.readLock().lock();
+        try {
+            return index.keys();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void forEach(BiConsumer<String, byte[]> action) {
+        lock.readLock().lock();
+        try {
+            index.forEach((key, loc) -> action.accept(key, readPayload(loc)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(String key, byte[] payload) {
+        lock.writeLock().lock();
+        try {
+            long prev = index.get(key);
+            long tombstone = tombstones.get(key);
+            int floor = prev != StringLongHashMap.MISSING ? floorAt(prev)
+                    : tombstone != StringLongHashMap.MISSING ? floorAt(tombstone) : OWN_SEGMENT;
+            long loc = append(PUT, key, floor, payload, 0, payload.length);
+            segment(loc).liveBytes += sizeAt(loc);
+            release(index.put(key, loc));
+            // The new record carries the tombstone's floor, so the tombstone is no longer needed
+            release(tombstones.remove(key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean delete(String key) {
+        lock.writeLock().lock();
+        try {
+            long prev = index.get(key);
+            if (prev == StringLongHashMap.MISSING) return false;
+            long loc = append(DELETE, key, floorAt(prev), new byte[0], 0, 0);
+            segment(loc).liveBytes += sizeAt(loc);
+            release(index.remove(key));
+            release(tombstones.put(key, loc));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Flushes dirty pages of the mapped segments to disk. */
+    void force() {
+        lock.readLock().lock();
+        try {
+            for (Segment seg : segments.values()) {
+                if (seg.dirty) {
+                    seg.buf.force();
+                    seg.dirty = false;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Compacts sealed segments with less than {@code 1 - garbageRatio} live data; returns how many were removed. */
+    int compact(double garbageRatio) {
+        List<Segment> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Segment seg : segments.values()) {
+                if (seg != active && seg.liveBytes <= seg.writePos * (1 - garbageRatio)) candidates.add(seg);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int removed = 0;
+        for (Segment seg : candidates) {
+            // Sealed segments never change, so they can be scanned without the lock;
+            // each record is re-checked against the index under the write lock before moving it
+            int pos = 0;
+            while (pos < seg.writePos) {
+                Slot slot = readSlot(seg, pos);
+                long loc = location(seg.id, pos);
+                lock.writeLock().lock();
+                try {
+                    if (slot.type() == PUT && index.get(slot.key()) == loc) {
+                        long moved = append(PUT, slot.key(), slot.floor(), seg.buf, slot.payloadOffset(), slot.payloadLength());
+                        segment(moved).liveBytes += sizeAt(moved);
+                        release(index.put(slot.key(), moved));
+                    } else if (slot.type() == DELETE && tombstones.get(slot.key()) == loc) {
+                        if (segments.subMap(slot.floor(), true, seg.id, false).isEmpty()) {
+                            // Nothing older for this key is left to shadow
+                            tombstones.remove(slot.key());
+                        } else {
+                            long moved = append(DELETE, slot.key(), slot.floor(), seg.buf, 0, 0);
+                            segment(moved).liveBytes += sizeAt(moved);
+                            tombstones.put(slot.key(), moved);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                pos += slot.size();
+            }
+
+            lock.writeLock().lock();
+            try {
+                // Copies must be durable before the originals go away
+                active.buf.force();
+                active.dirty = false;
+                Files.delete(seg.path);
+                segments.remove(seg.id);
+                removed++;
+            } catch (IOException ex) {
+                // Left in place with nothing live; the next pass retries the delete
+                log.warn("Could not delete compacted segment {}: {}", seg.path, ex.toString());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (Segment seg : segments.values()) seg.buf.force();
+            if (lockChannel != null) {
+                lockChannel.close(); // releases dirLock
+                lockChannel = null;
+            }
+        } catch (IOException ex) {
+            log.warn("Could not release lock on {}: {}", dir, ex.toString());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        // Two processes appending to the same mapped segments would overwrite each other's records
+        lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            dirLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            dirLock = null; // already held within this JVM
+        }
+        if (dirLock == null) {
+            lockChannel.close();
+            lockChannel = null;
+            throw new IllegalStateException("Embedded log " + dir + " is already in use by another process");
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            ds.forEach(files::add);
+        }
+        TreeMap<Integer, Path> ordered = new TreeMap<>();
+        for (Path p : files) ordered.put(segmentId(p), p);
+
+        for (Map.Entry<Integer, Path> e : ordered.entrySet()) {
+            Segment seg = new Segment(e.getKey(), e.getValue(), map(e.getValue(), Files.size(e.getValue())));
+            segments.put(seg.id, seg);
+            replay(seg, e.getKey().equals(ordered.lastKey()));
+        }
+        active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+        log.info("Opened embedded log {} with {} keys in {} segments", dir, index.size(), segments.size());
+    }
+
+    private void replay(Segment seg, boolean newest) {
+        int cap = seg.buf.capacity();
+        int pos = 0;
+        while (pos + FRAME <= cap) {
+            int len = seg.buf.getInt(pos);
+            if (len == 0) break;
+            Slot slot = len >= BODY_HEADER && (long) pos + FRAME + len <= cap ? readSlot(seg, pos) : null;
+            if (slot == null || !checksumMatches(seg, pos, len)) {
+                if (newest) {
+                    log.warn("Truncating torn record at {}:{}", seg.path, pos);
+                    for (int i = pos; i < cap; i++) seg.buf.put(i, (byte) 0);
+                    seg.buf.force();
+                } else {
+                    log.warn("Corrupt record at {}:{}, ignoring the rest of the segment", seg.path, pos);
+                }
+                break;
+            }
+            long loc = location(seg.id, pos);
+            seg.liveBytes += slot.size();
+            if (slot.type() == PUT) {
+                release(index.put(slot.key(), loc));
+                release(tombstones.remove(slot.key()));
+            } else {
+                release(index.remove(slot.key()));
+                release(tombstones.put(slot.key(), loc));
+            }
+            pos += slot.size();
+        }
+        seg.writePos = pos;
+    }
+
+    private long append(byte type, String key, int floor, ByteBuffer src, int srcOffset, int payloadLength) {
+        byte[] payload = new byte[payloadLength];
+        src.get(srcOffset, payload);
+        return append(type, key, floor, payload, 0, payloadLength);
+    }
+
+    private long append(byte type, String key, int floor, byte[] payload, int offset, int payloadLength) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int bodyLen = BODY_HEADER + keyBytes.length + FLOOR + payloadLength;
+        int size = FRAME + bodyLen;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("record of " + size + " bytes exceeds segment size " + segmentSize);
+        }
+        if (active.writePos + size > active.buf.capacity()) {
+            active.buf.force();
+            active.dirty = false;
+            active = createSegment(active.id + 1);
+        }
+        MappedByteBuffer buf = active.buf;
+        int pos = active.writePos;
+        int body = pos + FRAME;
+        buf.put(body, type);
+        buf.putShort(body + 1, (short) keyBytes.length);
+        buf.put(body + BODY_HEADER, keyBytes);
+        // Decided after any segment roll so a first record's floor is the segment it lands in
+        buf.putInt(body + BODY_HEADER + keyBytes.length, floor == OWN_SEGMENT ? active.id : floor);
+        buf.put(body + BODY_HEADER + keyBytes.length + FLOOR, payload, offset, payloadLength);
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(body, bodyLen));
+        buf.putInt(pos + 4, (int) crc.getValue());
+        // Length last: a record whose length never hit the page is simply the end of the segment
+        buf.putInt(pos, bodyLen);
+        active.writePos += size;
+        active.dirty = true;
+        return location(active.id, pos);
+    }
+
+    // Marks the record a key no longer points at as garbage in its segment
+    private void release(long oldLoc) {
+        if (oldLoc == StringLongHashMap.MISSING) return;
+        segment(oldLoc).liveBytes -= sizeAt(oldLoc);
+    }
+
+    private int sizeAt(long loc) {
+        return FRAME + segment(loc).buf.getInt(offset(loc));
+    }
+
+    private int floorAt(long loc) {
+        return readSlot(segment(loc), offset(loc)).floor();
+    }
+
+    private byte[] readPayload(long loc) {
+        Segment seg = segment(loc);
+        Slot slot = readSlot(seg, offset(loc));
+        byte[] out = new byte[slot.payloadLength()];
+        seg.buf.get(slot.payloadOffset(), out);
+        return out;
+    }
+
+    private Slot readSlot(Segment seg, int pos) {
+        int len = seg.buf.getInt(pos);
+        int body = pos + FRAME;
+        byte type = seg.buf.get(body);
+        int keyLen = Short.toUnsignedInt(seg.buf.getShort(body + 1));
+        boolean legacy = type == LEGACY_PUT || type == LEGACY_DELETE;
+        if ((!legacy && type != PUT && type != DELETE) || BODY_HEADER + keyLen + (legacy ? 0 : FLOOR) > len) return null;
+        byte[] keyBytes = new byte[keyLen];
+        seg.buf.get(body + BODY_HEADER, keyBytes);
+        int floor = legacy ? 0 : seg.buf.getInt(body + BODY_HEADER + keyLen);
+        int payloadOffset = body + BODY_HEADER + keyLen + (legacy ? 0 : FLOOR);
+        byte normalized = type == LEGACY_PUT || type == PUT ? PUT : DELETE;
+        return new Slot(normalized, new String(keyBytes, StandardCharsets.UTF_8), floor,
+                payloadOffset, len - (payloadOffset - body), FRAME + len);
+    }
+
+    private boolean checksumMatches(Segment seg, int pos, int len) {
+        CRC32C crc = new CRC32C();
+        crc.update(seg.buf.slice(pos + FRAME, len));
+        return (int) crc.getValue() == seg.buf.getInt(pos + 4);
+    }
+
+    private Segment createSegment(int id) {
+        Path path = dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        try {
+            Segment seg = new Segment(id, path, map(path, segmentSize));
+            segments.put(id, seg);
+            return seg;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create segment " + path, ex);
+        }
+    }
+
+    private Segment segment(long loc) {
+        return segments.get((int) (loc >>> 32));
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the current size extends the file; the zero-filled tail reads as end-of-segment
+            return ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static long location(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int offset(long loc) {
+        return (int) loc;
+    }
+
+    private static int segmentId(Path p) {
+        String name = p.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.SmartVehicle.backend.model.OwnershipHistory;
+import com.SmartVehicle.backend.repository.OwnershipHistoryRepository;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedOwnershipHistoryRepository extends EmbeddedRepositorySupport<OwnershipHistory> implements OwnershipHistoryRepository {
+
+    private final Map<String, Set<String>> idsByRcId = new ConcurrentHashMap<>();
+
+    public EmbeddedOwnershipHistoryRepository(
+            @Value("${embedded.store.dir:data/embedded}") String dir,
+            @Value("${embedded.store.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${embedded.store.expected-vehicles:100000}") int expectedVehicles,
+            @Value("${embedded.store.compaction-garbage-ratio:0.5}") double garbageRatio) {
+        super(OwnershipHistory.class, Paths.get(dir, "ownership_history"), segmentSizeMb << 20, expectedVehicles, garbageRatio);
+    }
+
+    @Override
+    public List<OwnershipHistory> findByRcIdOrderByTransferredAtDesc(String rcId) {
+        Set<String> ids = rcId == null ? null : idsByRcId.get(rcId);
+        if (ids == null) return List.of();
+        List<OwnershipHistory> history = findAllById(ids);
+        history.sort(Comparator.comparing(OwnershipHistory::getTransferredAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return history;
+    }
+
+    @Override
+    protected String getId(OwnershipHistory entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void setId(OwnershipHistory entity, String id) {
+        entity.setId(id);
+    }
+
+    @Override
+    protected void onPut(OwnershipHistory previous, OwnershipHistory current) {
+        if (previous != null) onDelete(previous);
+        if (current.getRcId() != null) {
+            idsByRcId.computeIfAbsent(current.getRcId(), k -> ConcurrentHashMap.newKeySet()).add(current.getId());
+        }
+    }
+
+    @Override
+    protected void onDelete(OwnershipHistory previous) {
+        if (previous.getRcId() == null) return;
+        idsByRcId.computeIfPresent(previous.getRcId(), (k, ids) -> {
+            ids.remove(previous.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
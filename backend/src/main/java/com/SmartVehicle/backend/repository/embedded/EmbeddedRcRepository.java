@@ -0,0 +1,137 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.repository.RcRepository;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedRcRepository extends EmbeddedRepositorySupport<Rc> implements RcRepository {
+
+    private final Map<String, String> idByRcNumber = new ConcurrentHashMap<>();
+    // Owner key -> rcNumbers, kept sorted so owner pages come out in rcNumber order without sorting
+    private final Map<String, NavigableSet<String>> byOwnerPhoneKey = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<String>> byOwnerEmailKey = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<String>> byOwnerIdentityKey = new ConcurrentHashMap<>();
+
+    public EmbeddedRcRepository(
+            @Value("${embedded.store.dir:data/embedded}") String dir,
+            @Value("${embedded.store.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${embedded.store.expected-vehicles:100000}") int expectedVehicles,
+            @Value("${embedded.store.compaction-garbage-ratio:0.5}") double garbageRatio) {
+        super(Rc.class, Paths.get(dir, "vehicles"), segmentSizeMb << 20, expectedVehicles, garbageRatio);
+    }
+
+    @Override
+    public Rc findByRcNumber(String rcNumber) {
+        String id = rcNumber == null ? null : idByRcNumber.get(rcNumber);
+        return id == null ? null : findById(id).orElse(null);
+    }
+
+    @Override
+    public Page<Rc> findSummariesByOwnerPhoneKey(String ownerPhoneKey, Pageable pageable) {
+        return ownerPage(byOwnerPhoneKey, ownerPhoneKey, pageable);
+    }
+
+    @Override
+    public Page<Rc> findSummariesByOwnerEmailKey(String ownerEmailKey, Pageable pageable) {
+        return ownerPage(byOwnerEmailKey, ownerEmailKey, pageable);
+    }
+
+    @Override
+    public Page<Rc> findSummariesByOwnerIdentityKey(String ownerIdentityKey, Pageable pageable) {
+        return ownerPage(byOwnerIdentityKey, ownerIdentityKey, pageable);
+    }
+
+    @Override
+    protected String getId(Rc entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void setId(Rc entity, String id) {
+        entity.setId(id);
+    }
+
+    // Mirrors the unique rcNumber index of the Mongo collection
+    @Override
+    protected void checkConstraints(Rc current) {
+        String existing = current.getRcNumber() == null ? null : idByRcNumber.get(current.getRcNumber());
+        if (existing != null && !existing.equals(current.getId())) {
+            throw new DuplicateKeyException("rcNumber " + current.getRcNumber() + " already exists");
+        }
+    }
+
+    @Override
+    protected void onPut(Rc previous, Rc current) {
+        if (previous != null) onDelete(previous);
+        if (current.getRcNumber() != null) idByRcNumber.put(current.getRcNumber(), current.getId());
+        addKey(byOwnerPhoneKey, current.getOwnerPhoneKey(), current.getRcNumber());
+        addKey(byOwnerEmailKey, current.getOwnerEmailKey(), current.getRcNumber());
+        addKey(byOwnerIdentityKey, current.getOwnerIdentityKey(), current.getRcNumber());
+    }
+
+    @Override
+    protected void onDelete(Rc previous) {
+        if (previous.getRcNumber() != null) idByRcNumber.remove(previous.getRcNumber(), previous.getId());
+        removeKey(byOwnerPhoneKey, previous.getOwnerPhoneKey(), previous.getRcNumber());
+        removeKey(byOwnerEmailKey, previous.getOwnerEmailKey(), previous.getRcNumber());
+        removeKey(byOwnerIdentityKey, previous.getOwnerIdentityKey(), previous.getRcNumber());
+    }
+
+    private Page<Rc> ownerPage(Map<String, NavigableSet<String>> index, String key, Pageable pageable) {
+        NavigableSet<String> rcNumbers = key == null ? null : index.get(key);
+        if (rcNumbers == null || rcNumbers.isEmpty()) return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        Sort sort = pageable.getSort();
+        if (sort.isSorted() && !sort.equals(Sort.by("rcNumber"))) {
+            List<Rc> all = load(rcNumbers);
+            all.sort(comparator(sort));
+            return page(all, pageable);
+        }
+        // Already in rcNumber order: only the requested page is read from the log
+        List<String> ordered = new ArrayList<>(rcNumbers);
+        if (pageable.isUnpaged()) return new PageImpl<>(load(ordered));
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = Math.min(from + pageable.getPageSize(), ordered.size());
+        return new PageImpl<>(load(ordered.subList(from, to)), pageable, ordered.size());
+    }
+
+    private List<Rc> load(Iterable<String> rcNumbers) {
+        List<Rc> out = new ArrayList<>();
+        for (String rcNumber : rcNumbers) {
+            Rc rc = findByRcNumber(rcNumber);
+            if (rc != null) out.add(rc);
+        }
+        return out;
+    }
+
+    private static void addKey(Map<String, NavigableSet<String>> index, String key, String rcNumber) {
+        if (key == null || rcNumber == null) return;
+        index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(rcNumber);
+    }
+
+    private static void removeKey(Map<String, NavigableSet<String>> index, String key, String rcNumber) {
+        if (key == null || rcNumber == null) return;
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(rcNumber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -0,0 +1,188 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * ListCrudRepository surface over an {@link AppendOnlyLog} keyed by document id. Documents are
+ * stored as JSON; subclasses keep their secondary indexes current through {@link #onPut} and
+ * {@link #onDelete}. Writes are serialized on the repository, reads go straight to the log.
+ */
+abstract class EmbeddedRepositorySupport<T> implements ListCrudRepository<T, String> {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedRepositorySupport.class);
+
+    // Annotations are ignored so server-side fields hidden from the API (@JsonIgnore) are still persisted
+    private static final JsonMapper MAPPER = JsonMapper.builder().disable(MapperFeature.USE_ANNOTATIONS).build();
+
+    private final Class<T> type;
+    private final AppendOnlyLog store;
+    private final double compactionGarbageRatio;
+
+    protected EmbeddedRepositorySupport(Class<T> type, Path dir, int segmentSize, int expectedKeys, double compactionGarbageRatio) {
+        this.type = type;
+        this.store = new AppendOnlyLog(dir, segmentSize, expectedKeys);
+        this.compactionGarbageRatio = compactionGarbageRatio;
+    }
+
+    // Runs after construction so subclass index fields exist before they are filled
+    @PostConstruct
+    public void rebuildIndexes() {
+        store.forEach((id, payload) -> onPut(null, decode(payload)));
+    }
+
+    protected abstract String getId(T entity);
+
+    protected abstract void setId(T entity, String id);
+
+    /** Rejects a document before it is written, e.g. on a unique key clash. */
+    protected void checkConstraints(T current) {
+    }
+
+    /** Called with the stored version (or null) and the new version of a saved document. */
+    protected abstract void onPut(T previous, T current);
+
+    protected abstract void onDelete(T previous);
+
+    @Scheduled(fixedDelayString = "${embedded.store.force-interval-ms:1000}")
+    public void force() {
+        store.force();
+    }
+
+    @Scheduled(fixedDelayString = "${embedded.store.compaction-interval-ms:60000}")
+    public void compact() {
+        int removed = store.compact(compactionGarbageRatio);
+        if (removed > 0) log.info("Compacted {} segments of {}", removed, type.getSimpleName());
+    }
+
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+
+    @Override
+    public synchronized <S extends T> S save(S entity) {
+        if (getId(entity) == null) setId(entity, new ObjectId().toHexString());
+        String id = getId(entity);
+        checkConstraints(entity);
+        T previous = decode(store.get(id));
+        store.put(id, MAPPER.writeValueAsBytes(entity));
+        onPut(previous, entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S e : entities) saved.add(save(e));
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(decode(store.get(id)));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.contains(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<T> all = new ArrayList<>(store.size());
+        store.forEach((id, payload) -> all.add(decode(payload)));
+        return all;
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) findById(id).ifPresent(found::add);
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public synchronized void deleteById(String id) {
+        T previous = decode(store.get(id));
+        if (previous != null && store.delete(id)) onDelete(previous);
+    }
+
+    @Override
+    public void delete(T entity) {
+        if (getId(entity) != null) deleteById(getId(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        for (String id : ids) deleteById(id);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T e : entities) delete(e);
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAllById(store.keys());
+    }
+
+    protected T decode(byte[] payload) {
+        return payload == null ? null : MAPPER.readValue(payload, type);
+    }
+
+    protected static <E> Page<E> page(List<E> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) return new PageImpl<>(sorted);
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    // Compares on (possibly nested) bean properties, nulls last, like a Mongo sort on missing fields
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static <E> Comparator<E> comparator(Sort sort) {
+        Comparator<E> result = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> natural = Comparator.nullsLast(Comparator.naturalOrder());
+            Comparator<E> next = Comparator.comparing(
+                    e -> (Comparable) property(e, order.getProperty()),
+                    order.isAscending() ? natural : Comparator.nullsLast(Comparator.<Comparable>naturalOrder().reversed()));
+            result = result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static Object property(Object bean, String path) {
+        try {
+            return new BeanWrapperImpl(bean).getPropertyValue(path);
+        } catch (BeansException ex) {
+            return null; // null intermediate in a nested path
+        }
+    }
+}
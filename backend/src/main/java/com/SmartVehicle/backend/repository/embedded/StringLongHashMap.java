@@ -0,0 +1,123 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Open-addressing String -> long map with linear probing and backward-shift deletion.
+ * Values are stored unboxed, so an index over millions of keys costs two arrays rather
+ * than an Entry and a Long per key. Not thread-safe; callers guard it with their own lock.
+ */
+final class StringLongHashMap {
+
+    static final long MISSING = -1L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private String[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    StringLongHashMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+        allocate(cap);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(String key) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) return values[i];
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /** Returns the previous value, or {@link #MISSING}. */
+    long put(String key, long value) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                long old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) allocate(keys.length << 1);
+        return MISSING;
+    }
+
+    /** Returns the removed value, or {@link #MISSING}. */
+    long remove(String key) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                long old = values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void forEach(ObjLongConsumer<String> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) action.accept(keys[i], values[i]);
+        }
+    }
+
+    List<String> keys() {
+        List<String> out = new ArrayList<>(size);
+        for (String k : keys) {
+            if (k != null) out.add(k);
+        }
+        return out;
+    }
+
+    // Closes the gap at i by pulling back later entries of the probe run that may not skip it
+    private void shiftBack(int i) {
+        keys[i] = null;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null) return;
+            int home = slot(keys[j]);
+            boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (stays) continue;
+            keys[i] = keys[j];
+            values[i] = values[j];
+            keys[j] = null;
+            i = j;
+        }
+    }
+
+    private int slot(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        String[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new String[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.SmartVehicle.backend.service;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.SmartVehicle.backend.model.Rc;
+
+/**
+ * Fills in owner lookup keys on vehicles that lack them. Replicas without the key fields drop
+ * them on every full save, so during a rolling deploy keys keep disappearing until the last old
+ * replica is gone. The pass is therefore idempotent and triggered explicitly once the rollout is
+ * finished, through the admin endpoint or {@code rc.owner-keys.backfill-on-startup}.
+ */
+@Component
+@Profile("!embedded")
+public class OwnerKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerKeyBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean onStartup;
+
+    @Autowired
+    public OwnerKeyBackfill(MongoTemplate mongoTemplate,
+                            @Value("${rc.owner-keys.backfill-on-startup:false}") boolean onStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (onStartup) backfill();
+    }
+
+    /** Sets the keys on every vehicle missing one and returns how many were updated. */
+    public int backfill() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("owner.phone").ne(null).and("ownerPhoneKey").exists(false),
+                Criteria.where("owner.email").ne(null).and("ownerEmailKey").exists(false),
+                Criteria.where("owner.aadhaarLast4").ne(null).and("ownerIdentityKey").exists(false)));
+        query.fields().include("owner");
+        int[] updated = {0};
+        try (Stream<Rc> stream = mongoTemplate.stream(query, Rc.class)) {
+            stream.forEach(rc -> {
+                OwnerKeys.apply(rc);
+                // Touch only the keys so concurrent edits to the rest of the document are not overwritten.
+                // Null keys are unset rather than stored, keeping the vehicle out of that partial index
+                Update update = new Update();
+                setOrUnset(update, "ownerPhoneKey", rc.getOwnerPhoneKey());
+                setOrUnset(update, "ownerEmailKey", rc.getOwnerEmailKey());
+                setOrUnset(update, "ownerIdentityKey", rc.getOwnerIdentityKey());
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(rc.getId())), update, Rc.class);
+                updated[0]++;
+            });
+        }
+        log.info("Backfilled owner lookup keys on {} vehicles", updated[0]);
+        return updated[0];
+    }
+
+    private static void setOrUnset(Update update, String field, String value) {
+        if (value == null) update.unset(field);
+        else update.set(field, value);
+    }
+}
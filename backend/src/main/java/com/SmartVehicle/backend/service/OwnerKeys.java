@@ -0,0 +1,47 @@
+package com.SmartVehicle.backend.service;
+
+import java.util.Locale;
+
+import com.SmartVehicle.backend.model.Owner;
+import com.SmartVehicle.backend.model.Rc;
+
+/**
+ * Normalization for the owner lookup keys stored on Rc. The same functions are applied to
+ * stored owners and to incoming queries so lookups are exact index seeks.
+ */
+public final class OwnerKeys {
+
+    private OwnerKeys() {}
+
+    // Digits only, keeping the last 10 so "+91 98765-43210" and "09876543210" match
+    public static String phone(String raw) {
+        if (raw == null) return null;
+        String digits = raw.replaceAll("\\D", "");
+        if (digits.isEmpty()) return null;
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    public static String email(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        return raw.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String name(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        return raw.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public static String identity(String aadhaarLast4, String name) {
+        String digits = aadhaarLast4 == null ? "" : aadhaarLast4.replaceAll("\\D", "");
+        String n = name(name);
+        if (digits.length() != 4 || n == null) return null;
+        return digits + ":" + n;
+    }
+
+    public static void apply(Rc rc) {
+        Owner owner = rc.getOwner();
+        rc.setOwnerPhoneKey(owner == null ? null : phone(owner.getPhone()));
+        rc.setOwnerEmailKey(owner == null ? null : email(owner.getEmail()));
+        rc.setOwnerIdentityKey(owner == null ? null : identity(owner.getAadhaarLast4(), owner.getName()));
+    }
+}
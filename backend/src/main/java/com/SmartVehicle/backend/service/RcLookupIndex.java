@@ -0,0 +1,270 @@
+package com.SmartVehicle.backend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.VehicleTombstone;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory view of every RC's number, state and flags, enough to answer /stats without
+ * scanning vehicles. Persisted as a compact binary snapshot that is memory-mapped on startup;
+ * only documents with updatedAt at or after the snapshot's high-water mark (less a safety
+ * margin for clock skew and late commits) are then re-read. Deletes are seen through
+ * {@link VehicleTombstone} documents, which catch-up reads over the same window.
+ *
+ * Snapshot layout: int magic, int version, long highWater (epoch ms), int count, then per entry
+ * id, rcNumber, registrationState (short length + UTF-8, length -1 for null), byte flags,
+ * long createdAt (epoch ms, Long.MIN_VALUE for null).
+ */
+@Service
+@Profile("!embedded")
+public class RcLookupIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RcLookupIndex.class);
+
+    private static final int MAGIC = 0x52434c49; // "RCLI"
+    private static final int VERSION = 1;
+    private static final byte FLAG_STOLEN = 1;
+    private static final byte FLAG_SUSPICIOUS = 2;
+    private static final byte FLAG_ACTIVE = 4;
+
+    public record Entry(String id, String rcNumber, String registrationState,
+                        boolean stolen, boolean suspicious, boolean active, Instant createdAt) {
+
+        public static Entry of(Rc rc) {
+            return new Entry(rc.getId(), rc.getRcNumber(), rc.getRegistrationState(),
+                    Boolean.TRUE.equals(rc.getStolen()),
+                    Boolean.TRUE.equals(rc.getSuspicious()),
+                    rc.getRegistrationInfo() != null && rc.getRegistrationInfo().isActive(),
+                    rc.getCreatedAt());
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Path snapshotPath;
+    private final long marginMillis;
+    private final ConcurrentHashMap<String, Entry> byId = new ConcurrentHashMap<>();
+    // Latest updatedAt/deletedAt read back from Mongo; local writes never move it
+    private final AtomicLong highWater = new AtomicLong(Long.MIN_VALUE);
+    private volatile boolean ready;
+
+    @Autowired
+    public RcLookupIndex(MongoTemplate mongoTemplate,
+                         @Value("${rc.snapshot.path:data/rc-lookup.snapshot}") String snapshotPath,
+                         @Value("${rc.snapshot.catch-up-margin-ms:300000}") long marginMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.marginMillis = marginMillis;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Entry> entries() {
+        return new ArrayList<>(byId.values());
+    }
+
+    public void put(Rc rc) {
+        if (rc == null || rc.getId() == null) return;
+        byId.put(rc.getId(), Entry.of(rc));
+    }
+
+    /** Drops a deleted RC here and leaves a tombstone so other replicas and later restarts see the delete. */
+    public void recordDelete(String id) {
+        if (id == null) return;
+        byId.remove(id);
+        VehicleTombstone t = new VehicleTombstone();
+        t.setId(id);
+        t.setDeletedAt(Instant.now());
+        mongoTemplate.save(t);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmStart() {
+        long start = System.nanoTime();
+        boolean loaded = false;
+        if (Files.exists(snapshotPath)) {
+            try {
+                loadSnapshot();
+                loaded = true;
+                Instant oldest = Instant.now().minus(Duration.ofDays(VehicleTombstone.RETENTION_DAYS)).plusMillis(marginMillis);
+                if (highWater.get() < oldest.toEpochMilli()) {
+                    log.info("Lookup snapshot {} predates tombstone retention, rebuilding", snapshotPath);
+                    byId.clear();
+                    highWater.set(Long.MIN_VALUE);
+                    loaded = false;
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Ignoring unreadable lookup snapshot {}: {}", snapshotPath, ex.toString());
+                byId.clear();
+                highWater.set(Long.MIN_VALUE);
+            }
+        }
+        int caughtUp = catchUp();
+        ready = true;
+        log.info("Lookup index ready with {} RCs (snapshot {}, {} caught up) in {} ms",
+                byId.size(), loaded ? "loaded" : "not used", caughtUp, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Picks up writes made by other replicas since the last catch-up
+    @Scheduled(fixedDelayString = "${rc.snapshot.catch-up-interval-ms:30000}")
+    public void scheduledCatchUp() {
+        if (ready) catchUp();
+    }
+
+    @Scheduled(fixedDelayString = "${rc.snapshot.interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (ready) writeSnapshotQuietly();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (ready) writeSnapshotQuietly();
+    }
+
+    private int catchUp() {
+        long mark = highWater.get();
+        Instant since = mark == Long.MIN_VALUE ? null : Instant.ofEpochMilli(mark - marginMillis);
+        // Re-reading the margin window catches writes whose updatedAt (set by another replica's clock)
+        // was older than the mark by the time they committed; re-applying them is harmless
+        Query query = new Query();
+        if (since != null) query.addCriteria(Criteria.where("updatedAt").gte(since));
+        query.fields().include("rcNumber", "registrationState", "stolen", "suspicious",
+                "registrationInfo.active", "createdAt", "updatedAt");
+        long[] latest = {mark};
+        int[] seen = {0};
+        try (Stream<Rc> stream = mongoTemplate.stream(query, Rc.class)) {
+            stream.forEach(rc -> {
+                put(rc);
+                if (rc.getUpdatedAt() != null) latest[0] = Math.max(latest[0], rc.getUpdatedAt().toEpochMilli());
+                seen[0]++;
+            });
+        }
+
+        // A full rebuild starts empty, so only incremental catch-ups need tombstones
+        if (since != null) {
+            Query deleted = new Query(Criteria.where("deletedAt").gte(since));
+            try (Stream<VehicleTombstone> stream = mongoTemplate.stream(deleted, VehicleTombstone.class)) {
+                stream.forEach(t -> {
+                    byId.remove(t.getId());
+                    latest[0] = Math.max(latest[0], t.getDeletedAt().toEpochMilli());
+                    seen[0]++;
+                });
+            }
+        }
+        highWater.accumulateAndGet(latest[0], Math::max);
+        return seen[0];
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException ex) {
+            log.warn("Failed to write lookup snapshot {}: {}", snapshotPath, ex.toString());
+        }
+    }
+
+    void writeSnapshot() throws IOException {
+        // Capture the mark before copying entries so anything read meanwhile is caught up again on load
+        long mark = highWater.get();
+        List<Entry> entries = entries();
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(mark);
+            out.writeInt(entries.size());
+            for (Entry e : entries) {
+                writeString(out, e.id());
+                writeString(out, e.rcNumber());
+                writeString(out, e.registrationState());
+                byte flags = 0;
+                if (e.stolen()) flags |= FLAG_STOLEN;
+                if (e.suspicious()) flags |= FLAG_SUSPICIOUS;
+                if (e.active()) flags |= FLAG_ACTIVE;
+                out.writeByte(flags);
+                out.writeLong(e.createdAt() == null ? Long.MIN_VALUE : e.createdAt().toEpochMilli());
+            }
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadSnapshot() throws IOException {
+        try (FileChannel ch = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                throw new IOException("unrecognised snapshot header");
+            }
+            long mark = buf.getLong();
+            int count = buf.getInt();
+            for (int i = 0; i < count; i++) {
+                String id = readString(buf);
+                String rcNumber = readString(buf);
+                String state = readString(buf);
+                byte flags = buf.get();
+                long created = buf.getLong();
+                byId.put(id, new Entry(id, rcNumber, state,
+                        (flags & FLAG_STOLEN) != 0,
+                        (flags & FLAG_SUSPICIOUS) != 0,
+                        (flags & FLAG_ACTIVE) != 0,
+                        created == Long.MIN_VALUE ? null : Instant.ofEpochMilli(created)));
+            }
+            highWater.set(mark);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buf) {
+        short len = buf.getShort();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,9 @@
 package com.SmartVehicle.backend.service;
 
 import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.RcSummary;
 import java.util.List;
+import org.springframework.data.domain.Page;
 
 public interface RcService {
 
@@ -12,4 +14,5 @@ public interface RcService {
     Rc update(String id, Rc rc);
     void delete(String id);
     List<Rc> getFiltered(String registrationState, Boolean stolen, Boolean suspicious, String make, String ownerName);
+    Page<RcSummary> findByOwner(String phone, String email, String aadhaarLast4, String name, int page, int size);
 }
@@ -2,14 +2,20 @@ package com.SmartVehicle.backend.service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 
 import com.SmartVehicle.backend.model.Rc;
 import com.SmartVehicle.backend.model.OwnershipHistory;
+import com.SmartVehicle.backend.model.RcSummary;
 import com.SmartVehicle.backend.repository.OwnershipHistoryRepository;
 import com.SmartVehicle.backend.repository.RcRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -19,6 +25,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 @Service
 public class RcServiceImpl implements RcService {
 
+    private static final int MAX_OWNER_PAGE_SIZE = 100;
+
     private final RcRepository repo;
     private final OwnershipHistoryRepository ownershipHistoryRepository;
     private final Counter rcCreateCounter;
@@ -28,9 +36,12 @@ public class RcServiceImpl implements RcService {
 
     @Autowired
     private final EmailService emailService;
+    // Mongo-backed helpers; absent under the embedded storage profile
+    private final Optional<VerificationRollupService> verificationRollupService;
+    private final Optional<RcLookupIndex> lookupIndex;
 
     @Autowired
-    public RcServiceImpl(RcRepository repo, OwnershipHistoryRepository ownershipHistoryRepository, MeterRegistry meterRegistry, EmailService emailService) {
+    public RcServiceImpl(RcRepository repo, OwnershipHistoryRepository ownershipHistoryRepository, MeterRegistry meterRegistry, EmailService emailService, Optional<VerificationRollupService> verificationRollupService, Optional<RcLookupIndex> lookupIndex) {
         this.repo = repo;
         this.ownershipHistoryRepository = ownershipHistoryRepository;
         this.rcCreateCounter = meterRegistry.counter("rc_operations_total", "operation", "create");
@@ -38,6 +49,8 @@ public class RcServiceImpl implements RcService {
         this.rcDeleteCounter = meterRegistry.counter("rc_operations_total", "operation", "delete");
         this.rcSearchCounter = meterRegistry.counter("rc_operations_total", "operation", "search");
         this.emailService = emailService;
+        this.verificationRollupService = verificationRollupService;
+        this.lookupIndex = lookupIndex;
     }
 
     @Override
@@ -54,6 +67,7 @@ public class RcServiceImpl implements RcService {
     public Rc searchByRcNumber(String rcNumber) {
         Rc found = repo.findByRcNumber(rcNumber);
         rcSearchCounter.increment();
+        verificationRollupService.ifPresent(s -> s.record(found));
         if (found != null) {
             if (found.getVerified() == null) {
                 found.setVerified(1);
@@ -72,6 +86,7 @@ public class RcServiceImpl implements RcService {
         rc.setCreatedAt(Instant.now());
         rc.setUpdatedAt(Instant.now());
         Rc saved = repo.save(rc);
+        lookupIndex.ifPresent(i -> i.put(saved));
         rcCreateCounter.increment();
         if (saved.getOwner() != null && saved.getOwner().getEmail() != null) {
             emailService.sendRcCreatedEmail(
@@ -91,6 +106,7 @@ public class RcServiceImpl implements RcService {
         normalizeAndEnsureConsistency(rc);
         rc.setUpdatedAt(Instant.now());
         Rc saved = repo.save(rc);
+        lookupIndex.ifPresent(i -> i.put(saved));
         rcUpdateCounter.increment();
         // Record ownership change if owner name differs
         if (existing != null && existing.getOwner() != null && rc.getOwner() != null) {
@@ -121,6 +137,7 @@ public class RcServiceImpl implements RcService {
     @Override
     public void delete(String id) {
         repo.deleteById(id);
+        lookupIndex.ifPresent(i -> i.recordDelete(id));
         rcDeleteCounter.increment();
     }
 
@@ -147,6 +164,34 @@ public class RcServiceImpl implements RcService {
         }).toList();
     }
 
+    @Override
+    public Page<RcSummary> findByOwner(String phone, String email, String aadhaarLast4, String name, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_OWNER_PAGE_SIZE), Sort.by("rcNumber"));
+        boolean hasPhone = phone != null && !phone.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        boolean hasAadhaar = aadhaarLast4 != null && !aadhaarLast4.isBlank();
+        if ((hasPhone ? 1 : 0) + (hasEmail ? 1 : 0) + (hasAadhaar ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("exactly one of phone, email or aadhaarLast4 (with name) is required");
+        }
+        if (!hasAadhaar && name != null && !name.isBlank()) {
+            throw new IllegalArgumentException("name is only accepted together with aadhaarLast4");
+        }
+        Page<Rc> found;
+        if (hasPhone) {
+            String key = OwnerKeys.phone(phone);
+            if (key == null) throw new IllegalArgumentException("phone must contain digits");
+            found = repo.findSummariesByOwnerPhoneKey(key, pageable);
+        } else if (hasEmail) {
+            found = repo.findSummariesByOwnerEmailKey(OwnerKeys.email(email), pageable);
+        } else {
+            // Aadhaar suffix alone is far too unselective, so it is only served together with the name
+            String key = OwnerKeys.identity(aadhaarLast4, name);
+            if (key == null) throw new IllegalArgumentException("aadhaarLast4 must be 4 digits and name is required");
+            found = repo.findSummariesByOwnerIdentityKey(key, pageable);
+        }
+        return found.map(RcSummary::of);
+    }
+
     private void validateRequired(Rc rc) {
         if (rc.getRcNumber() == null || rc.getRcNumber().isBlank()) {
             throw new IllegalArgumentException("rcNumber is required");
@@ -176,5 +221,6 @@ public class RcServiceImpl implements RcService {
         // ownersCount must be 1 (current owner) + previous owners length
         int computed = 1 + rc.getPreviousOwners().size();
         rc.setOwnersCount(computed);
+        OwnerKeys.apply(rc);
     }
 }
@@ -0,0 +1,202 @@
+package com.SmartVehicle.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.VerificationBucket;
+import com.SmartVehicle.backend.repository.VerificationBucketRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pre-aggregates RC searches into minute/hour/day buckets per registration state and outcome.
+ * Counts accumulate in memory and are flushed to Mongo as upsert $inc, so range queries
+ * only read the buckets they cover instead of scanning vehicles. Hour and day buckets start on
+ * boundaries in {@code verification.rollup.zone} (the server zone by default, like /stats).
+ */
+@Service
+@Profile("!embedded")
+public class VerificationRollupService {
+
+    public static final String OUTCOME_FOUND = "found";
+    public static final String OUTCOME_STOLEN = "stolen";
+    public static final String OUTCOME_SUSPICIOUS = "suspicious";
+    public static final String OUTCOME_NOT_FOUND = "not-found";
+    static final String UNKNOWN_STATE = "UNKNOWN";
+
+    private static final Map<String, ChronoUnit> GRANULARITIES = Map.of(
+            "minute", ChronoUnit.MINUTES,
+            "hour", ChronoUnit.HOURS,
+            "day", ChronoUnit.DAYS);
+
+    // Longest range one query may cover, so a request returns at most a few thousand buckets per series
+    private static final Map<String, Duration> MAX_SPAN = Map.of(
+            "minute", Duration.ofDays(1),
+            "hour", Duration.ofDays(31),
+            "day", Duration.ofDays(3660));
+
+    private record BucketKey(String granularity, Instant bucketStart, String registrationState, String outcome) {
+        String id() {
+            return granularity + "|" + bucketStart.toEpochMilli() + "|" + registrationState + "|" + outcome;
+        }
+    }
+
+    private final VerificationBucketRepository bucketRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Duration> retention;
+    private final ZoneId zone;
+    private final ConcurrentHashMap<BucketKey, Long> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VerificationRollupService(VerificationBucketRepository bucketRepository, MongoTemplate mongoTemplate,
+                                     @Value("${verification.rollup.minute-retention-days:7}") int minuteRetentionDays,
+                                     @Value("${verification.rollup.hour-retention-days:90}") int hourRetentionDays,
+                                     @Value("${verification.rollup.zone:}") String zone) {
+        this.bucketRepository = bucketRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.retention = Map.of(
+                "minute", Duration.ofDays(minuteRetentionDays),
+                "hour", Duration.ofDays(hourRetentionDays));
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+    }
+
+    /** Records one search hit; {@code found} is null when the RC number did not resolve. */
+    public void record(Rc found) {
+        String state = UNKNOWN_STATE;
+        String outcome = OUTCOME_NOT_FOUND;
+        if (found != null) {
+            if (found.getRegistrationState() != null && !found.getRegistrationState().isBlank()) {
+                state = found.getRegistrationState();
+            }
+            if (Boolean.TRUE.equals(found.getStolen())) {
+                outcome = OUTCOME_STOLEN;
+            } else if (Boolean.TRUE.equals(found.getSuspicious())) {
+                outcome = OUTCOME_SUSPICIOUS;
+            } else {
+                outcome = OUTCOME_FOUND;
+            }
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<String, ChronoUnit> g : GRANULARITIES.entrySet()) {
+            pending.merge(new BucketKey(g.getKey(), truncate(now, g.getValue()), state, outcome), 1L, Long::sum);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${verification.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+        // remove() is atomic per key, so hits recorded during the flush land in a fresh entry
+        Map<BucketKey, Long> drained = new HashMap<>();
+        for (BucketKey key : pending.keySet()) {
+            Long n = pending.remove(key);
+            if (n != null && n > 0) drained.put(key, n);
+        }
+        if (drained.isEmpty()) return;
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, VerificationBucket.class);
+        for (Map.Entry<BucketKey, Long> e : drained.entrySet()) {
+            BucketKey key = e.getKey();
+            Update update = new Update()
+                    .inc("count", e.getValue())
+                    .setOnInsert("granularity", key.granularity())
+                    .setOnInsert("bucketStart", key.bucketStart())
+                    .setOnInsert("registrationState", key.registrationState())
+                    .setOnInsert("outcome", key.outcome());
+            Duration keep = retention.get(key.granularity());
+            if (keep != null) update.setOnInsert("expireAt", key.bucketStart().plus(keep));
+            ops.upsert(new Query(Criteria.where("_id").is(key.id())), update);
+        }
+        try {
+            ops.execute();
+        } catch (RuntimeException ex) {
+            // Put the counts back so the next flush retries them
+            drained.forEach((key, n) -> pending.merge(key, n, Long::sum));
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Returns buckets with {@code from <= bucketStart < to}, including counts not yet flushed.
+     * {@code from} is truncated to the granularity so the first, partial bucket is included.
+     * State and outcome are optional exact-match filters.
+     */
+    public List<VerificationBucket> getRange(String granularity, Instant from, Instant to, String registrationState, String outcome) {
+        if (granularity == null || !GRANULARITIES.containsKey(granularity)) {
+            throw new IllegalArgumentException("granularity must be one of minute, hour, day");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Instant start = truncate(from, GRANULARITIES.get(granularity));
+        if (Duration.between(from, to).compareTo(MAX_SPAN.get(granularity)) > 0) {
+            throw new IllegalArgumentException("range for " + granularity + " buckets must not exceed " + MAX_SPAN.get(granularity).toDays() + " days");
+        }
+        boolean byState = registrationState != null && !registrationState.isBlank();
+
+        Map<String, VerificationBucket> byId = new HashMap<>();
+        List<VerificationBucket> stored = byState
+                ? bucketRepository.findRangeForState(granularity, registrationState, start, to)
+                : bucketRepository.findRange(granularity, start, to);
+        for (VerificationBucket b : stored) {
+            if (matches(b.getRegistrationState(), b.getOutcome(), registrationState, outcome)) {
+                byId.put(b.getId(), b);
+            }
+        }
+        pending.forEach((key, n) -> {
+            if (!key.granularity().equals(granularity)) return;
+            if (key.bucketStart().isBefore(start) || !key.bucketStart().isBefore(to)) return;
+            if (!matches(key.registrationState(), key.outcome(), registrationState, outcome)) return;
+            VerificationBucket b = byId.computeIfAbsent(key.id(), id -> {
+                VerificationBucket nb = new VerificationBucket();
+                nb.setId(id);
+                nb.setGranularity(key.granularity());
+                nb.setBucketStart(key.bucketStart());
+                nb.setRegistrationState(key.registrationState());
+                nb.setOutcome(key.outcome());
+                return nb;
+            });
+            b.setCount(b.getCount() + n);
+        });
+
+        List<VerificationBucket> result = new ArrayList<>(byId.values());
+        result.sort(Comparator.comparing(VerificationBucket::getBucketStart)
+                .thenComparing(VerificationBucket::getRegistrationState)
+                .thenComparing(VerificationBucket::getOutcome));
+        return result;
+    }
+
+    private Instant truncate(Instant instant, ChronoUnit unit) {
+        return instant.atZone(zone).truncatedTo(unit).toInstant();
+    }
+
+    private boolean matches(String state, String outcome, String stateFilter, String outcomeFilter) {
+        if (stateFilter != null && !stateFilter.isBlank() && !stateFilter.equals(state)) return false;
+        if (outcomeFilter != null && !outcomeFilter.isBlank() && !outcomeFilter.equalsIgnoreCase(outcome)) return false;
+        return true;
+    }
+}
@@ -0,0 +1,200 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AppendOnlyLogTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenAfterDeleteKeepsKeyDeleted() {
+        AppendOnlyLog log = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        log.put("a", bytes("1"));
+        log.put("b", bytes("2"));
+        assertThat(log.delete("a")).isTrue();
+        assertThat(log.delete("a")).isFalse();
+        log.close();
+
+        AppendOnlyLog reopened = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThat(reopened.get("a")).isNull();
+        assertThat(reopened.get("b")).isEqualTo(bytes("2"));
+        assertThat(reopened.size()).isEqualTo(1);
+    }
+
+    @Test
+    void corruptTailRecordIsTruncatedAndAppendsResume() throws IOException {
+        AppendOnlyLog log = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        log.put("a", bytes("first"));
+        log.put("b", bytes("second"));
+        log.close();
+
+        // Flip the last payload byte of "b", as if the write was torn
+        Path segment = newestSegment();
+        try (RandomAccessFile f = new RandomAccessFile(segment.toFile(), "rw")) {
+            f.seek(endOfRecords(segment) - 1);
+            f.write('X');
+        }
+
+        AppendOnlyLog recovered = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThat(recovered.get("a")).isEqualTo(bytes("first"));
+        assertThat(recovered.get("b")).isNull();
+        recovered.put("c", bytes("third"));
+        recovered.close();
+
+        AppendOnlyLog reopened = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThat(reopened.get("a")).isEqualTo(bytes("first"));
+        assertThat(reopened.get("b")).isNull();
+        assertThat(reopened.get("c")).isEqualTo(bytes("third"));
+    }
+
+    @Test
+    void compactionCarriesTombstonesWhileOlderSegmentsRemain() throws IOException {
+        AppendOnlyLog log = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        // Segment 0 stays mostly live, so it is not compacted and still holds the old "x"
+        log.put("keep", new byte[150]);
+        log.put("x", bytes("old"));
+        // Segment 1 ends up holding only garbage: the tombstone for "x" and overwritten "y"s
+        log.put("y", new byte[100]);
+        log.delete("x");
+        log.put("y", new byte[100]);
+        log.put("y", new byte[100]);
+        long before = segmentCount();
+
+        assertThat(log.compact(0.5)).isEqualTo(1);
+        assertThat(segmentCount()).isEqualTo(before - 1);
+        log.close();
+
+        AppendOnlyLog reopened = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThat(reopened.get("x")).isNull();
+        assertThat(reopened.get("keep")).hasSize(150);
+        assertThat(reopened.get("y")).hasSize(100);
+    }
+
+    @Test
+    void tombstoneIsDroppedOnceTheRecordItShadowsIsGone() throws IOException {
+        AppendOnlyLog log = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        log.put("keep", new byte[200]); // segment 0, stays live
+        // Segment 1: "x", its tombstone and overwritten "y"s, all garbage once "y" moves on
+        log.put("x", new byte[100]);
+        log.delete("x");
+        log.put("y", new byte[100]);
+        log.put("y", new byte[100]);
+
+        assertThat(log.compact(0.5)).isEqualTo(1);
+        // Only the live "y" is left in the active segment; the tombstone was not carried forward
+        assertThat(endOfRecords(newestSegment())).isEqualTo(116);
+        assertThat(log.compact(0.5)).isZero();
+        log.close();
+
+        AppendOnlyLog reopened = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThat(reopened.get("x")).isNull();
+        assertThat(reopened.keys()).containsExactlyInAnyOrder("keep", "y");
+    }
+
+    @Test
+    void recreatedKeyInheritsTheFloorOfItsOldTombstone() {
+        AppendOnlyLog log = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        log.put("keep", new byte[190]);
+        log.put("x", new byte[30]); // segment 0 now full and mostly live, so never compacted
+        log.delete("x");
+        log.put("x", new byte[30]);
+        log.put("y", new byte[100]);
+        log.put("y", new byte[100]);
+        // Drops the first tombstone (x is live again) and moves the new "x" forward
+        assertThat(log.compact(0.5)).isEqualTo(1);
+
+        log.delete("x");
+        log.put("y", new byte[100]);
+        // The second tombstone must survive: the first "x" is still in segment 0
+        assertThat(log.compact(0.5)).isEqualTo(1);
+        log.close();
+
+        AppendOnlyLog reopened = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThat(reopened.get("x")).isNull();
+        assertThat(reopened.keys()).containsExactlyInAnyOrder("keep", "y");
+    }
+
+    @Test
+    void directoryCannotBeOpenedTwice() {
+        AppendOnlyLog log = new AppendOnlyLog(dir, SEGMENT_SIZE, 16);
+        assertThatThrownBy(() -> new AppendOnlyLog(dir, SEGMENT_SIZE, 16))
+                .isInstanceOf(IllegalStateException.class);
+        log.close();
+
+        new AppendOnlyLog(dir, SEGMENT_SIZE, 16).close();
+    }
+
+    @Test
+    void compactionThenReopenMatchesModel() throws IOException {
+        AppendOnlyLog log = new AppendOnlyLog(dir, 4096, 16);
+        Map<String, String> model = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            String key = "id" + random.nextInt(50);
+            if (random.nextInt(4) == 0) {
+                log.delete(key);
+                model.remove(key);
+            } else {
+                String value = "v" + i + "x".repeat(random.nextInt(100));
+                log.put(key, bytes(value));
+                model.put(key, value);
+            }
+        }
+        long before = segmentCount();
+        for (int i = 0; i < 5; i++) log.compact(0.5);
+        assertThat(segmentCount()).isLessThan(before);
+        assertMatches(log, model);
+        log.close();
+
+        assertMatches(new AppendOnlyLog(dir, 4096, 16), model);
+    }
+
+    private static void assertMatches(AppendOnlyLog log, Map<String, String> model) {
+        assertThat(log.keys()).containsExactlyInAnyOrderElementsOf(model.keySet());
+        model.forEach((k, v) -> assertThat(log.get(k)).isEqualTo(bytes(v)));
+    }
+
+    private Path newestSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir).filter(p -> p.getFileName().toString().startsWith("segment-"))) {
+            List<Path> sorted = files.sorted().toList();
+            return sorted.get(sorted.size() - 1);
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir).filter(p -> p.getFileName().toString().startsWith("segment-"))) {
+            return files.count();
+        }
+    }
+
+    // Offset just past the last record: frames are int bodyLength + int crc + body, ended by a zero length
+    private static int endOfRecords(Path segment) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int pos = 0;
+        while (buf.getInt(pos) != 0) pos += 8 + buf.getInt(pos);
+        return pos;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.SmartVehicle.backend.model.Owner;
+import com.SmartVehicle.backend.model.Rc;
+
+class EmbeddedRcRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void duplicateRcNumberIsRejected() {
+        EmbeddedRcRepository repo = open();
+        repo.save(rc("MH12AB1234", "9876543210"));
+
+        assertThatThrownBy(() -> repo.save(rc("MH12AB1234", "9000000000")))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(repo.count()).isEqualTo(1);
+    }
+
+    @Test
+    void resavingTheSameDocumentIsNotADuplicate() {
+        EmbeddedRcRepository repo = open();
+        Rc saved = repo.save(rc("MH12AB1234", "9876543210"));
+        saved.setVerified(3);
+        repo.save(saved);
+
+        assertThat(repo.findByRcNumber("MH12AB1234").getVerified()).isEqualTo(3);
+    }
+
+    @Test
+    void secondaryIndexesAreRebuiltOnReopen() {
+        EmbeddedRcRepository repo = open();
+        Rc first = repo.save(rc("MH12AB1234", "9876543210"));
+        repo.save(rc("MH12AB0001", "9876543210"));
+        repo.save(rc("KA01XY9999", "9111111111"));
+        repo.deleteById(first.getId());
+        repo.close();
+
+        EmbeddedRcRepository reopened = open();
+        assertThat(reopened.findByRcNumber("MH12AB1234")).isNull();
+        assertThat(reopened.findByRcNumber("KA01XY9999")).isNotNull();
+        Page<Rc> page = reopened.findSummariesByOwnerPhoneKey("9876543210", PageRequest.of(0, 10, Sort.by("rcNumber")));
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(Rc::getRcNumber).containsExactly("MH12AB0001");
+
+        // The deleted rcNumber is free again
+        reopened.save(rc("MH12AB1234", "9000000000"));
+        assertThat(reopened.findByRcNumber("MH12AB1234")).isNotNull();
+    }
+
+    private EmbeddedRcRepository open() {
+        EmbeddedRcRepository repo = new EmbeddedRcRepository(dir.toString(), 1, 16, 0.5);
+        repo.rebuildIndexes();
+        return repo;
+    }
+
+    private static Rc rc(String rcNumber, String phoneKey) {
+        Owner owner = new Owner();
+        owner.setName("Owner " + rcNumber);
+        owner.setPhone(phoneKey);
+        Rc rc = new Rc();
+        rc.setRcNumber(rcNumber);
+        rc.setOwner(owner);
+        rc.setOwnerPhoneKey(phoneKey);
+        return rc;
+    }
+}
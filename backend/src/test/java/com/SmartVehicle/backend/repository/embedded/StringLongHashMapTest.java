@@ -0,0 +1,45 @@
+package com.SmartVehicle.backend.repository.embedded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StringLongHashMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        StringLongHashMap map = new StringLongHashMap(4);
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String key = "k" + random.nextInt(5_000);
+            if (random.nextInt(3) < 2) {
+                long value = random.nextInt(1 << 30);
+                Long old = expected.put(key, value);
+                assertThat(map.put(key, value)).isEqualTo(old == null ? StringLongHashMap.MISSING : old);
+            } else {
+                Long old = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(old == null ? StringLongHashMap.MISSING : old);
+            }
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((k, v) -> assertThat(map.get(k)).isEqualTo(v));
+        assertThat(map.keys()).containsExactlyInAnyOrderElementsOf(expected.keySet());
+    }
+
+    @Test
+    void removeKeepsLaterEntriesOfTheProbeRunReachable() {
+        // Far more keys than the initial capacity, removed from the middle of long probe runs
+        StringLongHashMap map = new StringLongHashMap(16);
+        for (int i = 0; i < 1_000; i++) map.put("key" + i, i);
+        for (int i = 0; i < 1_000; i += 2) assertThat(map.remove("key" + i)).isEqualTo(i);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(map.get("key" + i)).isEqualTo(i % 2 == 0 ? StringLongHashMap.MISSING : i);
+        }
+        assertThat(map.size()).isEqualTo(500);
+    }
+}
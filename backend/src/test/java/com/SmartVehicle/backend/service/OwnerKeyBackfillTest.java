@@ -0,0 +1,44 @@
+package com.SmartVehicle.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.SmartVehicle.backend.model.Owner;
+import com.SmartVehicle.backend.model.Rc;
+
+class OwnerKeyBackfillTest {
+
+    @Test
+    void nullKeysAreUnsetInsteadOfStored() {
+        Owner owner = new Owner();
+        owner.setName("Ravi Kumar");
+        owner.setPhone("09876543210");
+        Rc rc = new Rc();
+        rc.setId("1");
+        rc.setOwner(owner);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(Rc.class))).thenAnswer(inv -> Stream.of(rc));
+
+        int updated = new OwnerKeyBackfill(mongoTemplate, false).backfill();
+
+        assertThat(updated).isEqualTo(1);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Rc.class));
+        Document doc = update.getValue().getUpdateObject();
+        assertThat(doc.get("$set", Document.class)).containsOnlyKeys("ownerPhoneKey");
+        assertThat(doc.get("$unset", Document.class)).containsOnlyKeys("ownerEmailKey", "ownerIdentityKey");
+    }
+}
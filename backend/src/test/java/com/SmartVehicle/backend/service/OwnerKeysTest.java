@@ -0,0 +1,50 @@
+package com.SmartVehicle.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.SmartVehicle.backend.model.Owner;
+import com.SmartVehicle.backend.model.Rc;
+
+class OwnerKeysTest {
+
+    @Test
+    void phoneFormatsNormalizeToTheSameKey() {
+        assertThat(OwnerKeys.phone("+91 98765-43210")).isEqualTo("9876543210");
+        assertThat(OwnerKeys.phone("09876543210")).isEqualTo("9876543210");
+        assertThat(OwnerKeys.phone("98765 43210")).isEqualTo("9876543210");
+        assertThat(OwnerKeys.phone("n/a")).isNull();
+        assertThat(OwnerKeys.phone(null)).isNull();
+    }
+
+    @Test
+    void emailIgnoresCaseAndSurroundingWhitespace() {
+        assertThat(OwnerKeys.email("  Ravi.Kumar@Example.COM ")).isEqualTo("ravi.kumar@example.com");
+        assertThat(OwnerKeys.email(" ")).isNull();
+    }
+
+    @Test
+    void identityNeedsFourDigitsAndAName() {
+        assertThat(OwnerKeys.identity("1234", "  Ravi   KUMAR ")).isEqualTo("1234:ravi kumar");
+        assertThat(OwnerKeys.identity("12-34", "Ravi Kumar")).isEqualTo("1234:ravi kumar");
+        assertThat(OwnerKeys.identity("123", "Ravi Kumar")).isNull();
+        assertThat(OwnerKeys.identity("12345", "Ravi Kumar")).isNull();
+        assertThat(OwnerKeys.identity("1234", " ")).isNull();
+        assertThat(OwnerKeys.identity(null, "Ravi Kumar")).isNull();
+    }
+
+    @Test
+    void applyLeavesMissingKeysNull() {
+        Owner owner = new Owner();
+        owner.setName("Ravi Kumar");
+        owner.setPhone("+91 98765-43210");
+        Rc rc = new Rc();
+        rc.setOwner(owner);
+        OwnerKeys.apply(rc);
+
+        assertThat(rc.getOwnerPhoneKey()).isEqualTo("9876543210");
+        assertThat(rc.getOwnerEmailKey()).isNull();
+        assertThat(rc.getOwnerIdentityKey()).isNull();
+    }
+}
@@ -0,0 +1,106 @@
+package com.SmartVehicle.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.RegistrationInfo;
+import com.SmartVehicle.backend.model.VehicleTombstone;
+
+class RcLookupIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void snapshotRoundTripsEveryField() throws Exception {
+        Instant updated = Instant.now().minusSeconds(60);
+        Rc flagged = rc("1", "MH12AB1234", "MH", true, true, true, Instant.parse("2025-03-01T10:15:30Z"), updated);
+        Rc plain = rc("2", "KA01XY9999", "KA", false, false, false, Instant.parse("2024-12-31T23:59:59Z"), updated);
+        Rc sparse = rc("3", null, null, false, false, false, null, updated);
+        RcLookupIndex written = index(mongoReturning(List.of(flagged, plain, sparse)));
+        written.warmStart();
+        written.writeSnapshot();
+
+        MongoTemplate empty = mongoReturning(List.of());
+        RcLookupIndex loaded = index(empty);
+        loaded.warmStart();
+
+        assertThat(loaded.isReady()).isTrue();
+        assertThat(loaded.entries()).containsExactlyInAnyOrderElementsOf(written.entries());
+        assertThat(loaded.entries()).contains(
+                new RcLookupIndex.Entry("1", "MH12AB1234", "MH", true, true, true, Instant.parse("2025-03-01T10:15:30Z")),
+                new RcLookupIndex.Entry("3", null, null, false, false, false, null));
+        // Incremental catch-up, so tombstones since the snapshot are read
+        verify(empty).stream(any(Query.class), eq(VehicleTombstone.class));
+    }
+
+    @Test
+    void snapshotOlderThanTombstoneRetentionIsDiscarded() throws Exception {
+        Instant updated = Instant.now().minus(Duration.ofDays(VehicleTombstone.RETENTION_DAYS + 1));
+        RcLookupIndex written = index(mongoReturning(List.of(rc("1", "MH12AB1234", "MH", false, false, true, null, updated))));
+        written.warmStart();
+        written.writeSnapshot();
+
+        MongoTemplate empty = mongoReturning(List.of());
+        RcLookupIndex loaded = index(empty);
+        loaded.warmStart();
+
+        assertThat(loaded.entries()).isEmpty();
+        verify(empty, never()).stream(any(Query.class), eq(VehicleTombstone.class));
+    }
+
+    @Test
+    void unreadableSnapshotFallsBackToFullRebuild() throws Exception {
+        Files.write(dir.resolve("rc.snapshot"), new byte[] {1, 2, 3});
+        Rc rc = rc("1", "MH12AB1234", "MH", false, false, true, null, Instant.now());
+        RcLookupIndex loaded = index(mongoReturning(List.of(rc)));
+        loaded.warmStart();
+
+        assertThat(loaded.entries()).containsExactly(RcLookupIndex.Entry.of(rc));
+    }
+
+    private RcLookupIndex index(MongoTemplate mongoTemplate) {
+        return new RcLookupIndex(mongoTemplate, dir.resolve("rc.snapshot").toString(), 300_000);
+    }
+
+    private static MongoTemplate mongoReturning(List<Rc> vehicles) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(Rc.class))).thenAnswer(inv -> vehicles.stream());
+        when(mongoTemplate.stream(any(Query.class), eq(VehicleTombstone.class))).thenAnswer(inv -> Stream.empty());
+        return mongoTemplate;
+    }
+
+    private static Rc rc(String id, String rcNumber, String state, boolean stolen, boolean suspicious, boolean active,
+                         Instant createdAt, Instant updatedAt) {
+        Rc rc = new Rc();
+        rc.setId(id);
+        rc.setRcNumber(rcNumber);
+        rc.setRegistrationState(state);
+        rc.setStolen(stolen);
+        rc.setSuspicious(suspicious);
+        RegistrationInfo info = new RegistrationInfo();
+        info.setActive(active);
+        rc.setRegistrationInfo(info);
+        rc.setCreatedAt(createdAt);
+        rc.setUpdatedAt(updatedAt);
+        return rc;
+    }
+}
@@ -0,0 +1,72 @@
+package com.SmartVehicle.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.RcSummary;
+import com.SmartVehicle.backend.repository.OwnershipHistoryRepository;
+import com.SmartVehicle.backend.repository.RcRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RcServiceImplOwnerLookupTest {
+
+    private RcRepository repo;
+    private RcServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(RcRepository.class);
+        service = new RcServiceImpl(repo, mock(OwnershipHistoryRepository.class), new SimpleMeterRegistry(),
+                mock(EmailService.class), Optional.empty(), Optional.empty());
+    }
+
+    @Test
+    void phoneIsLookedUpByNormalizedKey() {
+        Rc rc = new Rc();
+        rc.setRcNumber("MH12AB1234");
+        when(repo.findSummariesByOwnerPhoneKey(eq("9876543210"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(rc)));
+
+        Page<RcSummary> page = service.findByOwner("+91 98765-43210", null, null, null, 0, 20);
+
+        assertThat(page.getContent()).extracting(RcSummary::getRcNumber).containsExactly("MH12AB1234");
+    }
+
+    @Test
+    void aadhaarSuffixIsLookedUpTogetherWithName() {
+        when(repo.findSummariesByOwnerIdentityKey(any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.findByOwner(null, null, "1234", "Ravi Kumar", 0, 20);
+
+        verify(repo).findSummariesByOwnerIdentityKey(eq("1234:ravi kumar"), any(Pageable.class));
+    }
+
+    @Test
+    void invalidSelectorsAreRejected() {
+        assertThatThrownBy(() -> service.findByOwner(null, null, null, null, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findByOwner("9876543210", "a@b.in", null, null, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findByOwner("9876543210", null, null, "Ravi Kumar", 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findByOwner(null, "a@b.in", null, "Ravi Kumar", 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findByOwner(null, null, "1234", null, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.SmartVehicle.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.SmartVehicle.backend.model.Rc;
+import com.SmartVehicle.backend.model.VerificationBucket;
+import com.SmartVehicle.backend.repository.VerificationBucketRepository;
+
+class VerificationRollupServiceTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private VerificationBucketRepository repository;
+    private VerificationRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(VerificationBucketRepository.class);
+        service = new VerificationRollupService(repository, mock(MongoTemplate.class), 7, 90, IST.getId());
+    }
+
+    @Test
+    void recordMapsVehiclesToOutcomes() {
+        service.record(rc("MH", true, true));
+        service.record(rc("MH", false, true));
+        service.record(rc("KA", false, false));
+        service.record(rc(" ", null, null));
+        service.record(null);
+
+        List<VerificationBucket> buckets = lastDay();
+        assertThat(buckets).extracting(b -> b.getRegistrationState() + "/" + b.getOutcome() + "=" + b.getCount())
+                .containsExactlyInAnyOrder(
+                        "MH/stolen=1", // stolen wins over suspicious
+                        "MH/suspicious=1",
+                        "KA/found=1",
+                        "UNKNOWN/found=1",
+                        "UNKNOWN/not-found=1");
+    }
+
+    @Test
+    void dayBucketsStartAtMidnightInTheConfiguredZone() {
+        service.record(null);
+
+        Instant midnight = Instant.now().atZone(IST).truncatedTo(ChronoUnit.DAYS).toInstant();
+        assertThat(lastDay()).extracting(VerificationBucket::getBucketStart).containsExactly(midnight);
+    }
+
+    @Test
+    void getRangeMergesPendingCountsWithStoredBuckets() {
+        Instant now = Instant.now();
+        Instant hour = now.atZone(IST).truncatedTo(ChronoUnit.HOURS).toInstant();
+        VerificationBucket stored = new VerificationBucket();
+        stored.setId("hour|" + hour.toEpochMilli() + "|MH|found");
+        stored.setGranularity("hour");
+        stored.setBucketStart(hour);
+        stored.setRegistrationState("MH");
+        stored.setOutcome("found");
+        stored.setCount(5);
+        when(repository.findRangeForState(eq("hour"), eq("MH"), any(), any())).thenReturn(List.of(stored));
+
+        service.record(rc("MH", false, false));
+        service.record(rc("MH", false, false));
+        service.record(rc("KA", false, false));
+
+        List<VerificationBucket> buckets = service.getRange("hour", hour.plusSeconds(60), now.plusSeconds(60), "MH", null);
+        assertThat(buckets).hasSize(1);
+        assertThat(buckets.get(0).getCount()).isEqualTo(7);
+        // from is truncated to the hour so the bucket holding it is included
+        verify(repository).findRangeForState(eq("hour"), eq("MH"), eq(hour), any());
+    }
+
+    @Test
+    void rangeIsLimitedPerGranularity() {
+        Instant to = Instant.parse("2026-01-10T00:00:00Z");
+        assertThat(service.getRange("minute", to.minus(Duration.ofDays(1)), to, null, null)).isEmpty();
+        assertThatThrownBy(() -> service.getRange("minute", to.minus(Duration.ofDays(1)).minusSeconds(1), to, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getRange("hour", to.minus(Duration.ofDays(31)), to, null, null)).isEmpty();
+        assertThatThrownBy(() -> service.getRange("hour", to.minus(Duration.ofDays(32)), to, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getRange("day", to.minus(Duration.ofDays(3660)), to, null, null)).isEmpty();
+        assertThatThrownBy(() -> service.getRange("day", to.minus(Duration.ofDays(3661)), to, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getRange("week", to.minus(Duration.ofDays(1)), to, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getRange("day", to, to, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<VerificationBucket> lastDay() {
+        Instant now = Instant.now();
+        return service.getRange("day", now.minus(Duration.ofHours(1)), now.plusSeconds(60), null, null);
+    }
+
+    private static Rc rc(String state, Boolean stolen, Boolean suspicious) {
+        Rc rc = new Rc();
+        rc.setRcNumber(state + "01AB1234");
+        rc.setRegistrationState(state);
+        rc.setStolen(stolen);
+        rc.setSuspicious(suspicious);
+        return rc;
+    }
+}